@@ -8,10 +8,41 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.sql.*;
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 public class App {
 
@@ -26,10 +57,15 @@ public class App {
     private static final Font MAIN_FONT = new Font("Times New Roman", Font.PLAIN, 16);
 
     public static void main(String[] args) {
+        if (args.length > 0) {
+            runCommand(args);
+            return;
+        }
         SwingUtilities.invokeLater(() -> {
             try {
                 ensureTables();
                 ensureDefaultAdmin(); // admin / admin123
+                startDedupBackfill();
             } catch (Exception e) {
                 JOptionPane.showMessageDialog(null, "DB init error: " + e.getMessage());
                 e.printStackTrace();
@@ -38,6 +74,40 @@ public class App {
         });
     }
 
+    // java App backup <file> [--incremental]  |  java App restore <file>...
+    private static void runCommand(String[] args) {
+        try {
+            ensureTables();
+            if (args[0].equals("backup") && args.length >= 2) {
+                boolean incremental = args.length > 2 && args[2].equals("--incremental");
+                System.out.println("Backup: " + Backup.backup(new File(args[1]), incremental));
+            } else if (args[0].equals("restore") && args.length >= 2) {
+                List<File> files = new ArrayList<>();
+                for (String f : Arrays.copyOfRange(args, 1, args.length)) files.add(new File(f));
+                System.out.println("Restore: " + Backup.restore(files));
+            } else {
+                System.err.println("Usage: backup <file> [--incremental] | restore <file>...");
+                System.exit(2);
+            }
+        } catch (Exception e) {
+            e.printStackTrace();
+            System.exit(1);
+        }
+    }
+
+    // rows from before duplicate detection need a dedup_key before the insert-time check can match them
+    private static void startDedupBackfill() {
+        Thread t = new Thread(() -> {
+            try {
+                StudentDAO.backfillDedupKeys();
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }, "dedup-backfill");
+        t.setDaemon(true);
+        t.start();
+    }
+
     // ========= DB helpers =========
     private static Connection getConnection() throws SQLException {
         return DriverManager.getConnection(DB_URL, DB_USER, DB_PASS);
@@ -50,7 +120,8 @@ public class App {
                   username VARCHAR(50) NOT NULL UNIQUE,
                   password_hash CHAR(64) NOT NULL,
                   role ENUM('ADMIN','STAFF') NOT NULL,
-                  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
                 )
                 """;
 
@@ -65,6 +136,21 @@ public class App {
                   foto LONGBLOB NULL,
                   foto_mime VARCHAR(50) NULL,
                   foto_filename VARCHAR(255) NULL,
+                  foto_phash BIGINT NULL,
+                  dedup_key VARCHAR(100) NULL,
+                  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                  updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+                  INDEX idx_students_dedup (dedup_key),
+                  INDEX idx_students_updated (updated_at)
+                )
+                """;
+
+        String backupLog = """
+                CREATE TABLE IF NOT EXISTS backup_log (
+                  id INT AUTO_INCREMENT PRIMARY KEY,
+                  kind ENUM('FULL','INCREMENTAL') NOT NULL,
+                  watermark TIMESTAMP NULL,
+                  file_path VARCHAR(500) NOT NULL,
                   created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
                 )
                 """;
@@ -73,6 +159,38 @@ public class App {
              Statement st = c.createStatement()) {
             st.execute(users);
             st.execute(students);
+            st.execute(backupLog);
+
+            // tables created before duplicate detection existed
+            ensureColumn(c, "students", "foto_phash", "BIGINT NULL");
+            ensureColumn(c, "students", "dedup_key", "VARCHAR(100) NULL");
+            ensureIndex(c, "students", "idx_students_dedup", "(dedup_key)");
+
+            // change watermark for incremental backups
+            String updatedAt = "TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP";
+            ensureColumn(c, "users", "updated_at", updatedAt);
+            ensureColumn(c, "students", "updated_at", updatedAt);
+            ensureIndex(c, "students", "idx_students_updated", "(updated_at)");
+        }
+    }
+
+    private static void ensureColumn(Connection c, String table, String column, String definition) throws SQLException {
+        try (ResultSet rs = c.getMetaData().getColumns(c.getCatalog(), null, table, column)) {
+            if (rs.next()) return;
+        }
+        try (Statement st = c.createStatement()) {
+            st.execute("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+    }
+
+    private static void ensureIndex(Connection c, String table, String index, String columns) throws SQLException {
+        try (ResultSet rs = c.getMetaData().getIndexInfo(c.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) return;
+            }
+        }
+        try (Statement st = c.createStatement()) {
+            st.execute("CREATE INDEX " + index + " ON " + table + columns);
         }
     }
 
@@ -119,6 +237,15 @@ public class App {
         String emer, atesia, mbiemer, klasa, mesuesikujdestar;
         byte[] fotoBytes;
         String fotoMime, fotoFilename;
+        Long fotoPhash;
+    }
+
+    static class DuplicatePair {
+        Student a, b;
+        double score;
+        DuplicatePair(Student a, Student b, double score) {
+            this.a = a; this.b = b; this.score = score;
+        }
     }
 
     // ========= DAO =========
@@ -174,8 +301,9 @@ public class App {
 
         static int insert(Student s) throws Exception {
             String sql = """
-                    INSERT INTO students(emer, atesia, mbiemer, klasa, mesuesi_kujdestar, foto, foto_mime, foto_filename)
-                    VALUES(?,?,?,?,?,?,?,?)
+                    INSERT INTO students(emer, atesia, mbiemer, klasa, mesuesi_kujdestar, foto, foto_mime, foto_filename,
+                                         foto_phash, dedup_key)
+                    VALUES(?,?,?,?,?,?,?,?,?,?)
                     """;
             try (Connection c = getConnection();
                  PreparedStatement ps = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
@@ -197,6 +325,12 @@ public class App {
                 if (s.fotoFilename != null) ps.setString(8, s.fotoFilename);
                 else ps.setNull(8, Types.VARCHAR);
 
+                // Dedup.candidatesFor has usually hashed this photo already
+                if (s.fotoPhash == null) s.fotoPhash = Dedup.photoHash(s.fotoBytes);
+                if (s.fotoPhash != null) ps.setLong(9, s.fotoPhash);
+                else ps.setNull(9, Types.BIGINT);
+                ps.setString(10, Dedup.blockingKey(s));
+
                 ps.executeUpdate();
 
                 ResultSet keys = ps.getGeneratedKeys();
@@ -208,7 +342,8 @@ public class App {
         static void update(Student s) throws Exception {
             String sql = """
                     UPDATE students
-                    SET emer=?, atesia=?, mbiemer=?, klasa=?, mesuesi_kujdestar=?, foto=?, foto_mime=?, foto_filename=?
+                    SET emer=?, atesia=?, mbiemer=?, klasa=?, mesuesi_kujdestar=?, foto=?, foto_mime=?, foto_filename=?,
+                        foto_phash=?, dedup_key=?
                     WHERE id=?
                     """;
             try (Connection c = getConnection();
@@ -231,7 +366,12 @@ public class App {
                 if (s.fotoFilename != null) ps.setString(8, s.fotoFilename);
                 else ps.setNull(8, Types.VARCHAR);
 
-                ps.setInt(9, s.id);
+                s.fotoPhash = Dedup.photoHash(s.fotoBytes);
+                if (s.fotoPhash != null) ps.setLong(9, s.fotoPhash);
+                else ps.setNull(9, Types.BIGINT);
+                ps.setString(10, Dedup.blockingKey(s));
+
+                ps.setInt(11, s.id);
 
                 ps.executeUpdate();
             }
@@ -256,10 +396,801 @@ public class App {
             s.fotoBytes = rs.getBytes("foto");
             s.fotoMime = rs.getString("foto_mime");
             s.fotoFilename = rs.getString("foto_filename");
+            long phash = rs.getLong("foto_phash");
+            s.fotoPhash = rs.wasNull() ? null : phash;
+            return s;
+        }
+
+        // everything dedup needs, without the foto blob (foto_phash stands in for it)
+        private static final String DEDUP_COLUMNS = "id, emer, atesia, mbiemer, klasa, foto_phash, dedup_key";
+
+        static List<Student> getByDedupKey(String dedupKey) throws Exception {
+            List<Student> list = new ArrayList<>();
+            try (Connection c = getConnection();
+                 PreparedStatement ps = c.prepareStatement(
+                         "SELECT " + DEDUP_COLUMNS + " FROM students WHERE dedup_key=?")) {
+                ps.setString(1, dedupKey);
+                ResultSet rs = ps.executeQuery();
+                while (rs.next()) list.add(mapDedup(rs));
+            }
+            return list;
+        }
+
+        static Map<String, List<Student>> getAllGroupedByDedupKey() throws Exception {
+            Map<String, List<Student>> blocks = new LinkedHashMap<>();
+            try (Connection c = getConnection();
+                 PreparedStatement ps = c.prepareStatement(
+                         "SELECT " + DEDUP_COLUMNS + " FROM students WHERE dedup_key IS NOT NULL ORDER BY dedup_key, id");
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Student s = mapDedup(rs);
+                    blocks.computeIfAbsent(rs.getString("dedup_key"), k -> new ArrayList<>()).add(s);
+                }
+            }
+            return blocks;
+        }
+
+        private static final int BACKFILL_BATCH = 256;
+
+        // Fills foto_phash / dedup_key for rows saved before those columns existed.
+        // dedup_key is always written together with foto_phash, so a row whose photo
+        // can't be decoded gets its key anyway and is not picked up again.
+        static int backfillDedupKeys() throws Exception {
+            int count = 0;
+            List<Student> batch = new ArrayList<>();
+            try (Connection read = getConnection();
+                 Connection write = getConnection();
+                 PreparedStatement sel = read.prepareStatement(
+                         "SELECT id, mbiemer, klasa, foto FROM students WHERE dedup_key IS NULL",
+                         ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                 PreparedStatement upd = write.prepareStatement(
+                         "UPDATE students SET foto_phash=?, dedup_key=? WHERE id=?")) {
+                sel.setFetchSize(Integer.MIN_VALUE); // stream the blobs instead of buffering them all
+                ResultSet rs = sel.executeQuery();
+                while (rs.next()) {
+                    Student s = new Student();
+                    s.id = rs.getInt("id");
+                    s.mbiemer = rs.getString("mbiemer");
+                    s.klasa = rs.getString("klasa");
+                    s.fotoBytes = rs.getBytes("foto");
+                    batch.add(s);
+                    if (batch.size() == BACKFILL_BATCH) {
+                        count += backfillBatch(upd, batch);
+                        batch.clear();
+                    }
+                }
+                count += backfillBatch(upd, batch);
+            }
+            return count;
+        }
+
+        private static int backfillBatch(PreparedStatement upd, List<Student> batch) throws Exception {
+            if (batch.isEmpty()) return 0;
+            // decoding the photos is the expensive part, spread it over the common pool
+            batch.parallelStream().forEach(s -> s.fotoPhash = Dedup.photoHash(s.fotoBytes));
+            for (Student s : batch) {
+                if (s.fotoPhash != null) upd.setLong(1, s.fotoPhash);
+                else upd.setNull(1, Types.BIGINT);
+                upd.setString(2, Dedup.blockingKey(s));
+                upd.setInt(3, s.id);
+                upd.addBatch();
+            }
+            upd.executeBatch();
+            return batch.size();
+        }
+
+        private static Student mapDedup(ResultSet rs) throws Exception {
+            Student s = new Student();
+            s.id = rs.getInt("id");
+            s.emer = rs.getString("emer");
+            s.atesia = rs.getString("atesia");
+            s.mbiemer = rs.getString("mbiemer");
+            s.klasa = rs.getString("klasa");
+            long phash = rs.getLong("foto_phash");
+            s.fotoPhash = rs.wasNull() ? null : phash;
             return s;
         }
     }
 
+    // ========= Dedup =========
+    static class Dedup {
+        // pairs scoring at or above this are reported as possible duplicates
+        static final double THRESHOLD = 0.85;
+        private static final double NAME_WEIGHT = 0.6;
+        private static final double PHOTO_WEIGHT = 0.4;
+        // dHash bits out of 64: at most MATCH_BITS apart is the same picture,
+        // more than MISMATCH_BITS apart is clearly a different face
+        private static final int PHOTO_MATCH_BITS = 10;
+        private static final int PHOTO_MISMATCH_BITS = 24;
+        private static final double PHOTO_MISMATCH_PENALTY = 0.1;
+
+        // only students sharing this key are ever compared: "Kollë", "8 A" -> "kole|8a"
+        static String blockingKey(Student s) {
+            return foldName(s.mbiemer) + "|" + fold(s.klasa);
+        }
+
+        // names also lose doubled letters: "Anna" -> "ana", "Kolla" -> "kola"
+        static String foldName(String text) {
+            return fold(text).replaceAll("(.)\\1+", "$1");
+        }
+
+        // "Hoxhë" -> "hoxhe", "8 A" -> "8a"
+        static String fold(String text) {
+            if (text == null) return "";
+            return Normalizer.normalize(text, Normalizer.Form.NFD)
+                    .replaceAll("\\p{M}", "")
+                    .toLowerCase()
+                    .replaceAll("[^\\p{L}\\p{N}]", "");
+        }
+
+        // 64-bit dHash: 9x8 grayscale, one bit per left/right neighbour comparison.
+        // Null when there is no photo or it can't be decoded (truncated/corrupt blobs).
+        static Long photoHash(byte[] bytes) {
+            if (bytes == null) return null;
+            BufferedImage img;
+            try {
+                img = ImageIO.read(new ByteArrayInputStream(bytes));
+            } catch (IOException e) {
+                return null;
+            }
+            if (img == null) return null;
+
+            BufferedImage small = new BufferedImage(9, 8, BufferedImage.TYPE_BYTE_GRAY);
+            Graphics2D g = small.createGraphics();
+            g.drawImage(img.getScaledInstance(9, 8, Image.SCALE_AREA_AVERAGING), 0, 0, null);
+            g.dispose();
+
+            Raster r = small.getRaster();
+            long hash = 0;
+            for (int y = 0; y < 8; y++) {
+                for (int x = 0; x < 8; x++) {
+                    hash <<= 1;
+                    if (r.getSample(x, y, 0) > r.getSample(x + 1, y, 0)) hash |= 1;
+                }
+            }
+            return hash;
+        }
+
+        // the surname is already equal inside a block, so only emer (and atesia) tell students apart
+        static double nameSimilarity(Student a, Student b) {
+            double sim = similarity(foldName(a.emer), foldName(b.emer));
+            if (a.atesia != null && b.atesia != null) {
+                sim = (2 * sim + similarity(foldName(a.atesia), foldName(b.atesia))) / 3;
+            }
+            return sim;
+        }
+
+        // A matching photo lifts a weaker name match; a clearly different one pulls the
+        // score down, but only by a fixed penalty so an exact name match is still reported.
+        static double score(Student a, Student b) {
+            double name = nameSimilarity(a, b);
+            if (a.fotoPhash == null || b.fotoPhash == null) return name;
+            int bits = Long.bitCount(a.fotoPhash ^ b.fotoPhash);
+            if (bits <= PHOTO_MATCH_BITS) {
+                double photo = 1.0 - bits / 64.0;
+                return Math.max(name, NAME_WEIGHT * name + PHOTO_WEIGHT * photo);
+            }
+            if (bits > PHOTO_MISMATCH_BITS) return name - PHOTO_MISMATCH_PENALTY;
+            return name;
+        }
+
+        // 1 - levenshtein / max length
+        private static double similarity(String a, String b) {
+            int max = Math.max(a.length(), b.length());
+            if (max == 0) return 1.0;
+            int[] prev = new int[b.length() + 1];
+            int[] cur = new int[b.length() + 1];
+            for (int j = 0; j <= b.length(); j++) prev[j] = j;
+            for (int i = 1; i <= a.length(); i++) {
+                cur[0] = i;
+                for (int j = 1; j <= b.length(); j++) {
+                    int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                    cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                }
+                int[] t = prev; prev = cur; cur = t;
+            }
+            return 1.0 - (double) prev[b.length()] / max;
+        }
+
+        // insert-time check, one indexed lookup on dedup_key
+        static List<DuplicatePair> candidatesFor(Student s) throws Exception {
+            List<DuplicatePair> out = new ArrayList<>();
+            s.fotoPhash = photoHash(s.fotoBytes);
+            for (Student other : StudentDAO.getByDedupKey(blockingKey(s))) {
+                if (other.id == s.id) continue;
+                double sc = score(s, other);
+                if (sc >= THRESHOLD) out.add(new DuplicatePair(s, other, sc));
+            }
+            out.sort((x, y) -> Double.compare(y.score, x.score));
+            return out;
+        }
+
+        // full-table report, blocks compared in parallel
+        static List<DuplicatePair> fullReport() throws Exception {
+            StudentDAO.backfillDedupKeys();
+            List<List<Student>> blocks = new ArrayList<>();
+            for (List<Student> block : StudentDAO.getAllGroupedByDedupKey().values()) {
+                if (block.size() > 1) blocks.add(block);
+            }
+            List<DuplicatePair> out = ForkJoinPool.commonPool().invoke(new BlockTask(blocks, 0, blocks.size()));
+            out.sort((x, y) -> Double.compare(y.score, x.score));
+            return out;
+        }
+
+        static class BlockTask extends RecursiveTask<List<DuplicatePair>> {
+            private static final int LEAF_BLOCKS = 32;
+            private final List<List<Student>> blocks;
+            private final int from, to;
+
+            BlockTask(List<List<Student>> blocks, int from, int to) {
+                this.blocks = blocks; this.from = from; this.to = to;
+            }
+
+            @Override
+            protected List<DuplicatePair> compute() {
+                if (to - from <= LEAF_BLOCKS) {
+                    List<DuplicatePair> out = new ArrayList<>();
+                    for (int k = from; k < to; k++) {
+                        List<Student> block = blocks.get(k);
+                        for (int i = 0; i < block.size(); i++) {
+                            for (int j = i + 1; j < block.size(); j++) {
+                                double sc = score(block.get(i), block.get(j));
+                                if (sc >= THRESHOLD) out.add(new DuplicatePair(block.get(i), block.get(j), sc));
+                            }
+                        }
+                    }
+                    return out;
+                }
+                int mid = (from + to) >>> 1;
+                BlockTask left = new BlockTask(blocks, from, mid);
+                left.fork();
+                List<DuplicatePair> out = new BlockTask(blocks, mid, to).compute();
+                out.addAll(left.join());
+                return out;
+            }
+        }
+    }
+
+    // ========= Backup =========
+    // Archive layout: header (magic, type, since, watermark, crc32 of the header), then framed chunks
+    // [kind][rows][rawLength][compressedLength][crc32 of those fields + raw rows][deflated rows],
+    // then CHUNK_END and a trailer [frames][rows][crc32 of every byte before the trailer] at EOF.
+    static class Backup {
+        private static final int MAGIC = 0x53444231; // "SDB1"
+        private static final byte FULL = 0, INCREMENTAL = 1;
+        private static final byte CHUNK_END = 0, CHUNK_USERS = 1, CHUNK_STUDENTS = 2,
+                CHUNK_USER_IDS = 3, CHUNK_STUDENT_IDS = 4;
+        private static final int CHUNK_ROWS = 256;
+        private static final int CHUNK_BYTES = 4 << 20;
+        private static final int ID_CHUNK_ROWS = 65536;
+        private static final int WORKERS = Runtime.getRuntime().availableProcessors();
+        // a row can be committed after our snapshot with an updated_at from before it;
+        // restores are upserts, so re-sending a few minutes of changes is harmless
+        private static final long WATERMARK_OVERLAP_MS = 5 * 60 * 1000;
+
+        private static final String USER_COLUMNS = "id, username, password_hash, role, created_at, updated_at";
+        private static final String STUDENT_COLUMNS = """
+                id, emer, atesia, mbiemer, klasa, mesuesi_kujdestar, foto, foto_mime, foto_filename,
+                foto_phash, dedup_key, created_at, updated_at""";
+        private static final int USER_COLUMN_COUNT = USER_COLUMNS.split(",").length;
+        private static final int STUDENT_COLUMN_COUNT = STUDENT_COLUMNS.split(",").length;
+
+        static String backup(File file, boolean incremental) throws Exception {
+            Timestamp since = null;
+            if (incremental) {
+                Timestamp last = lastWatermark();
+                if (last == null) throw new Exception("Nuk ka backup të mëparshëm për backup inkremental");
+                since = new Timestamp(last.getTime() - WATERMARK_OVERLAP_MS);
+            }
+
+            int users, students;
+            Timestamp watermark;
+            ExecutorService pool = Executors.newFixedThreadPool(WORKERS);
+            try (Connection c = getConnection();
+                 ChunkWriter out = new ChunkWriter(file, pool)) {
+                c.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+                c.setAutoCommit(false);
+                try (Statement st = c.createStatement()) {
+                    st.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT, READ ONLY");
+                    try (ResultSet rs = st.executeQuery("SELECT NOW()")) {
+                        rs.next();
+                        watermark = rs.getTimestamp(1);
+                    }
+                }
+
+                out.header(incremental ? INCREMENTAL : FULL, since, watermark);
+                if (incremental) {
+                    // lets restore drop deleted rows before upserting, see restore()
+                    copyIds(c, out, CHUNK_USER_IDS, "SELECT id FROM users");
+                    copyIds(c, out, CHUNK_STUDENT_IDS, "SELECT id FROM students");
+                }
+                users = copyRows(c, out, CHUNK_USERS, "SELECT " + USER_COLUMNS + " FROM users", since);
+                students = copyRows(c, out, CHUNK_STUDENTS, "SELECT " + STUDENT_COLUMNS + " FROM students", since);
+                c.commit();
+                out.finish();
+            } finally {
+                pool.shutdownNow();
+            }
+
+            try (Connection c = getConnection();
+                 PreparedStatement ps = c.prepareStatement(
+                         "INSERT INTO backup_log(kind, watermark, file_path) VALUES(?,?,?)")) {
+                ps.setString(1, incremental ? "INCREMENTAL" : "FULL");
+                ps.setTimestamp(2, watermark);
+                ps.setString(3, file.getAbsolutePath());
+                ps.executeUpdate();
+            }
+            return users + " përdorues, " + students + " nxënës";
+        }
+
+        private static Timestamp lastWatermark() throws Exception {
+            try (Connection c = getConnection();
+                 PreparedStatement ps = c.prepareStatement("SELECT MAX(watermark) FROM backup_log");
+                 ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getTimestamp(1);
+            }
+        }
+
+        // streams the result set row by row instead of buffering all foto blobs in the driver
+        private static PreparedStatement streaming(Connection c, String sql) throws SQLException {
+            PreparedStatement ps = c.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            return ps;
+        }
+
+        private static int copyRows(Connection c, ChunkWriter out, byte kind, String sql, Timestamp since) throws Exception {
+            if (since != null) sql += " WHERE updated_at > ?";
+            int count = 0;
+            try (PreparedStatement ps = streaming(c, sql)) {
+                if (since != null) ps.setTimestamp(1, since);
+                ResultSet rs = ps.executeQuery();
+                int columns = rs.getMetaData().getColumnCount();
+                while (rs.next()) {
+                    DataOutputStream row = out.row(kind);
+                    for (int i = 1; i <= columns; i++) writeValue(row, rs.getObject(i));
+                    count++;
+                }
+            }
+            return count;
+        }
+
+        private static void copyIds(Connection c, ChunkWriter out, byte kind, String sql) throws Exception {
+            try (PreparedStatement ps = streaming(c, sql)) {
+                ResultSet rs = ps.executeQuery();
+                while (rs.next()) out.row(kind).writeInt(rs.getInt(1));
+            }
+        }
+
+        private static void writeValue(DataOutputStream out, Object v) throws IOException {
+            if (v == null) {
+                out.writeByte(0);
+            } else if (v instanceof String) {
+                out.writeByte(1);
+                out.writeUTF((String) v);
+            } else if (v instanceof byte[]) {
+                byte[] b = (byte[]) v;
+                out.writeByte(2);
+                out.writeInt(b.length);
+                out.write(b);
+            } else if (v instanceof Timestamp) {
+                out.writeByte(3);
+                out.writeLong(((Timestamp) v).getTime());
+            } else if (v instanceof LocalDateTime) {
+                out.writeByte(3);
+                out.writeLong(Timestamp.valueOf((LocalDateTime) v).getTime());
+            } else if (v instanceof Number) {
+                out.writeByte(4);
+                out.writeLong(((Number) v).longValue());
+            } else {
+                throw new IOException("Tip i panjohur kolone: " + v.getClass().getName());
+            }
+        }
+
+        private static Object readValue(DataInputStream in) throws IOException {
+            switch (in.readByte()) {
+                case 0: return null;
+                case 1: return in.readUTF();
+                case 2: {
+                    byte[] b = new byte[in.readInt()];
+                    in.readFully(b);
+                    return b;
+                }
+                case 3: return new Timestamp(in.readLong());
+                case 4: return in.readLong();
+                default: throw new IOException("Arkivë e dëmtuar");
+            }
+        }
+
+        // Restores a full backup and the incrementals after it, oldest first.
+        static String restore(List<File> files) throws Exception {
+            if (files.isEmpty()) throw new Exception("Nuk u zgjodh asnjë arkivë");
+            List<Header> chain = new ArrayList<>();
+            for (File f : files) {
+                try (DataInputStream in = new DataInputStream(new FileInputStream(f))) {
+                    chain.add(Header.read(f, in));
+                }
+            }
+            chain.sort((a, b) -> Long.compare(a.watermark, b.watermark));
+
+            if (chain.get(0).type != FULL) {
+                throw new Exception("Restore duhet të nisë me një backup të plotë");
+            }
+            for (int i = 1; i < chain.size(); i++) {
+                Header prev = chain.get(i - 1), h = chain.get(i);
+                if (h.type == INCREMENTAL && h.since > prev.watermark) {
+                    throw new Exception("Mungon një backup inkremental midis "
+                            + prev.file.getName() + " dhe " + h.file.getName());
+                }
+            }
+
+            int users = 0, students = 0;
+            ExecutorService pool = Executors.newFixedThreadPool(WORKERS);
+            try {
+                // nothing is touched until every archive is complete and every chunk checksum matches
+                for (Header h : chain) verify(h, pool);
+
+                // rewriteBatchedStatements turns each batch into one multi-row INSERT
+                try (Connection c = DriverManager.getConnection(DB_URL + "&rewriteBatchedStatements=true", DB_USER, DB_PASS)) {
+                    for (Header h : chain) {
+                        int[] counts = restore(c, h, pool);
+                        users += counts[0];
+                        students += counts[1];
+                    }
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+            return users + " përdorues, " + students + " nxënës";
+        }
+
+        // Dry run of restore(): every frame crc, every row and the trailer are checked,
+        // so a damaged archive is rejected before anything is truncated.
+        private static void verify(Header header, ExecutorService pool) throws Exception {
+            try (ChunkReader in = new ChunkReader(header.file, pool)) {
+                Chunk chunk;
+                while ((chunk = in.next()) != null) {
+                    if (chunk.kind == CHUNK_USER_IDS || chunk.kind == CHUNK_STUDENT_IDS) {
+                        for (int i = 0; i < chunk.rows; i++) chunk.data.readInt();
+                    } else {
+                        int columns = chunk.kind == CHUNK_USERS ? USER_COLUMN_COUNT : STUDENT_COLUMN_COUNT;
+                        for (int i = 0; i < chunk.rows * columns; i++) readValue(chunk.data);
+                    }
+                    if (chunk.data.available() != 0) throw new IOException("Numër i gabuar rreshtash në arkivë");
+                }
+            }
+        }
+
+        private static int[] restore(Connection c, Header header, ExecutorService pool) throws Exception {
+            int users = 0, students = 0;
+            boolean full = header.type == FULL;
+            BitSet liveUsers = new BitSet(), liveStudents = new BitSet();
+
+            try (ChunkReader in = new ChunkReader(header.file, pool);
+                 Statement st = c.createStatement()) {
+                if (full) {
+                    st.execute("TRUNCATE TABLE students");
+                    st.execute("TRUNCATE TABLE users");
+                    // secondary indexes are built once after the load instead of row by row
+                    st.execute("ALTER TABLE students DROP INDEX idx_students_dedup, DROP INDEX idx_students_updated");
+                    // empty tables and a consistent snapshot: there is nothing to collide with.
+                    // Incremental restores keep the checks, the upserts depend on them.
+                    st.execute("SET unique_checks=0");
+                }
+                c.setAutoCommit(false);
+                Exception failure = null;
+                try (PreparedStatement insUser = c.prepareStatement(upsert("users", USER_COLUMNS));
+                     PreparedStatement insStudent = c.prepareStatement(upsert("students", STUDENT_COLUMNS))) {
+                    boolean deleted = full;
+                    Chunk chunk;
+                    while ((chunk = in.next()) != null) {
+                        if (chunk.kind == CHUNK_USER_IDS) {
+                            for (int i = 0; i < chunk.rows; i++) liveUsers.set(chunk.data.readInt());
+                        } else if (chunk.kind == CHUNK_STUDENT_IDS) {
+                            for (int i = 0; i < chunk.rows; i++) liveStudents.set(chunk.data.readInt());
+                        } else {
+                            // delete first, so a username freed by a deleted user can go to its new id
+                            if (!deleted) {
+                                deleteMissing(c, "users", liveUsers);
+                                deleteMissing(c, "students", liveStudents);
+                                deleted = true;
+                            }
+                            if (chunk.kind == CHUNK_USERS) {
+                                users += insertRows(insUser, chunk, USER_COLUMN_COUNT);
+                            } else {
+                                students += insertRows(insStudent, chunk, STUDENT_COLUMN_COUNT);
+                            }
+                        }
+                        c.commit();
+                    }
+                    if (!deleted) {
+                        deleteMissing(c, "users", liveUsers);
+                        deleteMissing(c, "students", liveStudents);
+                        c.commit();
+                    }
+                } catch (Exception e) {
+                    failure = e;
+                    try {
+                        c.rollback();
+                    } catch (SQLException r) {
+                        e.addSuppressed(r);
+                    }
+                }
+
+                // cleanup errors must not hide the reason the restore failed
+                try {
+                    c.setAutoCommit(true);
+                    if (full) {
+                        st.execute("SET unique_checks=1");
+                        ensureIndex(c, "students", "idx_students_dedup", "(dedup_key)");
+                        ensureIndex(c, "students", "idx_students_updated", "(updated_at)");
+                    }
+                } catch (SQLException e) {
+                    if (failure == null) failure = e;
+                    else failure.addSuppressed(e);
+                }
+                if (failure != null) throw failure;
+            }
+            return new int[]{users, students};
+        }
+
+        private static String upsert(String table, String columns) {
+            String[] cols = columns.replaceAll("\\s+", "").split(",");
+            StringBuilder sql = new StringBuilder("INSERT INTO " + table + "(" + String.join(", ", cols) + ") VALUES(");
+            sql.append("?,".repeat(cols.length - 1)).append("?) ON DUPLICATE KEY UPDATE ");
+            for (int i = 1; i < cols.length; i++) {
+                if (i > 1) sql.append(", ");
+                sql.append(cols[i]).append("=VALUES(").append(cols[i]).append(")");
+            }
+            return sql.toString();
+        }
+
+        private static int insertRows(PreparedStatement ps, Chunk chunk, int columns) throws Exception {
+            for (int r = 0; r < chunk.rows; r++) {
+                for (int i = 1; i <= columns; i++) ps.setObject(i, readValue(chunk.data));
+                ps.addBatch();
+            }
+            ps.executeBatch();
+            return chunk.rows;
+        }
+
+        private static void deleteMissing(Connection c, String table, BitSet live) throws Exception {
+            List<Integer> gone = new ArrayList<>();
+            try (PreparedStatement ps = c.prepareStatement("SELECT id FROM " + table);
+                 ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    if (!live.get(rs.getInt(1))) gone.add(rs.getInt(1));
+                }
+            }
+            try (PreparedStatement ps = c.prepareStatement("DELETE FROM " + table + " WHERE id=?")) {
+                for (int id : gone) {
+                    ps.setInt(1, id);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+        }
+
+        static class Header {
+            File file;
+            byte type;
+            long since;
+            long watermark;
+
+            static Header read(File file, DataInputStream in) throws IOException {
+                if (in.readInt() != MAGIC) throw new IOException(file.getName() + " nuk është arkivë backup");
+                Header h = new Header();
+                h.file = file;
+                h.type = in.readByte();
+                h.since = in.readLong();
+                h.watermark = in.readLong();
+                if (in.readLong() != crc(h.type, h.since, h.watermark) || (h.type != FULL && h.type != INCREMENTAL)) {
+                    throw new IOException(file.getName() + ": header i dëmtuar");
+                }
+                return h;
+            }
+
+            static long crc(byte type, long since, long watermark) throws IOException {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream d = new DataOutputStream(bytes);
+                d.writeByte(type);
+                d.writeLong(since);
+                d.writeLong(watermark);
+                CRC32 crc = new CRC32();
+                crc.update(bytes.toByteArray());
+                return crc.getValue();
+            }
+        }
+
+        static class Chunk {
+            byte kind;
+            int rows;
+            DataInputStream data;
+        }
+
+        private static long frameCrc(byte kind, int rows, int rawLength, int compressedLength, byte[] raw) throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(13);
+            DataOutputStream d = new DataOutputStream(bytes);
+            d.writeByte(kind);
+            d.writeInt(rows);
+            d.writeInt(rawLength);
+            d.writeInt(compressedLength);
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            crc.update(raw);
+            return crc.getValue();
+        }
+
+        // Rows are buffered per chunk on the JDBC thread; deflate + crc run on the pool,
+        // and chunks are written back in order with a bounded number in flight.
+        // The archive goes to <file>.tmp and only replaces <file> once it is complete.
+        static class ChunkWriter implements AutoCloseable {
+            private final File file, tmp;
+            private final CheckedOutputStream checked;
+            private final DataOutputStream out;
+            private final ExecutorService pool;
+            private boolean finished;
+            private int frames;
+            private long totalRows;
+            private final ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+            private ByteArrayOutputStream buffer;
+            private DataOutputStream data;
+            private byte kind;
+            private int rows;
+
+            ChunkWriter(File file, ExecutorService pool) throws IOException {
+                this.file = file;
+                this.tmp = new File(file.getPath() + ".tmp");
+                this.checked = new CheckedOutputStream(new BufferedOutputStream(new FileOutputStream(tmp), 1 << 16), new CRC32());
+                this.out = new DataOutputStream(checked);
+                this.pool = pool;
+            }
+
+            void header(byte type, Timestamp since, Timestamp watermark) throws IOException {
+                out.writeInt(MAGIC);
+                out.writeByte(type);
+                out.writeLong(since == null ? -1 : since.getTime());
+                out.writeLong(watermark.getTime());
+                out.writeLong(Header.crc(type, since == null ? -1 : since.getTime(), watermark.getTime()));
+            }
+
+            DataOutputStream row(byte rowKind) throws Exception {
+                int maxRows = rowKind == CHUNK_USER_IDS || rowKind == CHUNK_STUDENT_IDS ? ID_CHUNK_ROWS : CHUNK_ROWS;
+                if (data != null && (kind != rowKind || rows >= maxRows || buffer.size() >= CHUNK_BYTES)) flush();
+                if (data == null) {
+                    buffer = new ByteArrayOutputStream();
+                    data = new DataOutputStream(buffer);
+                    kind = rowKind;
+                    rows = 0;
+                }
+                rows++;
+                return data;
+            }
+
+            private void flush() throws Exception {
+                byte chunkKind = kind;
+                int chunkRows = rows;
+                byte[] raw = buffer.toByteArray();
+                pending.add(pool.submit(() -> encode(chunkKind, chunkRows, raw)));
+                frames++;
+                totalRows += chunkRows;
+                data = null;
+                buffer = null;
+                while (pending.size() > WORKERS * 2) out.write(pending.poll().get());
+            }
+
+            void finish() throws Exception {
+                if (data != null) flush();
+                while (!pending.isEmpty()) out.write(pending.poll().get());
+                out.writeByte(CHUNK_END);
+                long fileCrc = checked.getChecksum().getValue();
+                out.writeInt(frames);
+                out.writeLong(totalRows);
+                out.writeLong(fileCrc);
+                out.close();
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                finished = true;
+            }
+
+            private static byte[] encode(byte kind, int rows, byte[] raw) throws IOException {
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 2 + 64);
+                try (DeflaterOutputStream z = new DeflaterOutputStream(compressed, new Deflater(Deflater.BEST_SPEED))) {
+                    z.write(raw);
+                }
+                ByteArrayOutputStream framed = new ByteArrayOutputStream(compressed.size() + 32);
+                DataOutputStream f = new DataOutputStream(framed);
+                f.writeByte(kind);
+                f.writeInt(rows);
+                f.writeInt(raw.length);
+                f.writeInt(compressed.size());
+                f.writeLong(frameCrc(kind, rows, raw.length, compressed.size(), raw));
+                compressed.writeTo(f);
+                return framed.toByteArray();
+            }
+
+            @Override
+            public void close() throws IOException {
+                for (Future<byte[]> f : pending) f.cancel(true);
+                out.close();
+                if (!finished) tmp.delete();
+            }
+        }
+
+        // Mirror of ChunkWriter: frames are read in order, inflated and checked on the pool.
+        static class ChunkReader implements AutoCloseable {
+            private final CheckedInputStream checked;
+            private final DataInputStream in;
+            private final ExecutorService pool;
+            private final ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+            private boolean ended;
+            private int frames;
+            private long totalRows;
+            final Header header;
+
+            ChunkReader(File file, ExecutorService pool) throws IOException {
+                this.checked = new CheckedInputStream(new BufferedInputStream(new FileInputStream(file), 1 << 16), new CRC32());
+                this.in = new DataInputStream(checked);
+                this.pool = pool;
+                this.header = Header.read(file, in);
+            }
+
+            Chunk next() throws Exception {
+                while (!ended && pending.size() < WORKERS * 2) {
+                    byte kind = in.readByte();
+                    if (kind == CHUNK_END) {
+                        readTrailer();
+                        ended = true;
+                        break;
+                    }
+                    if (kind < CHUNK_USERS || kind > CHUNK_STUDENT_IDS) throw new IOException("Arkivë e dëmtuar");
+                    int rows = in.readInt();
+                    int rawLength = in.readInt();
+                    int compressedLength = in.readInt();
+                    long crc = in.readLong();
+                    if (rows < 0 || rawLength < 0 || compressedLength < 0) throw new IOException("Arkivë e dëmtuar");
+                    byte[] compressed = new byte[compressedLength];
+                    in.readFully(compressed);
+                    frames++;
+                    totalRows += rows;
+                    pending.add(pool.submit(() -> decode(kind, rows, rawLength, compressedLength, crc, compressed)));
+                }
+                Future<Chunk> f = pending.poll();
+                return f == null ? null : f.get();
+            }
+
+            // the file ends right after the trailer, and the trailer must match what was read
+            private void readTrailer() throws IOException {
+                long fileCrc = checked.getChecksum().getValue();
+                if (in.readInt() != frames || in.readLong() != totalRows || in.readLong() != fileCrc || in.read() != -1) {
+                    throw new IOException("Arkivë e dëmtuar (trailer)");
+                }
+            }
+
+            private static Chunk decode(byte kind, int rows, int rawLength, int compressedLength, long crc,
+                                        byte[] compressed) throws IOException {
+                byte[] raw = new byte[rawLength];
+                try (InflaterInputStream z = new InflaterInputStream(new ByteArrayInputStream(compressed))) {
+                    new DataInputStream(z).readFully(raw);
+                }
+                if (frameCrc(kind, rows, rawLength, compressedLength, raw) != crc) {
+                    throw new IOException("Checksum i gabuar në arkivë");
+                }
+
+                Chunk chunk = new Chunk();
+                chunk.kind = kind;
+                chunk.rows = rows;
+                chunk.data = new DataInputStream(new ByteArrayInputStream(raw));
+                return chunk;
+            }
+
+            @Override
+            public void close() throws IOException {
+                for (Future<Chunk> f : pending) f.cancel(true);
+                in.close();
+            }
+        }
+    }
+
     // ========= UI =========
 
     static class LoginFrame extends JFrame {
@@ -323,25 +1254,84 @@ public class App {
             this.user = user;
 
             setTitle("ADMIN Dashboard - " + user.username);
-            setSize(420, 220);
+            setSize(420, 380);
             setLocationRelativeTo(null);
             setDefaultCloseOperation(EXIT_ON_CLOSE);
 
             JButton btnAddStaff = new JButton("Shto Personel");
             JButton btnView = new JButton("Shiko të dhëna");
             JButton btnEdit = new JButton("Edito të dhëna");
+            JButton btnDuplicates = new JButton("Kontrollo dublikatat");
+            JButton btnBackup = new JButton("Backup");
+            JButton btnRestore = new JButton("Rikthe nga backup");
 
-            JPanel p = new JPanel(new GridLayout(3, 1, 10, 10));
+            JPanel p = new JPanel(new GridLayout(6, 1, 10, 10));
             p.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
             p.add(btnAddStaff);
             p.add(btnView);
             p.add(btnEdit);
+            p.add(btnDuplicates);
+            p.add(btnBackup);
+            p.add(btnRestore);
 
             setContentPane(p);
 
             btnAddStaff.addActionListener(e -> addStaff());
             btnView.addActionListener(e -> new StudentListFrame("ADMIN").setVisible(true));
             btnEdit.addActionListener(e -> new StudentFormFrame(null).setVisible(true));
+            btnDuplicates.addActionListener(e -> new DuplicateReportFrame().setVisible(true));
+            btnBackup.addActionListener(e -> backup());
+            btnRestore.addActionListener(e -> restore());
+        }
+
+        private void backup() {
+            Object[] options = {"I plotë", "Inkremental"};
+            int type = JOptionPane.showOptionDialog(this, "Lloji i backup-it:", "Backup",
+                    JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, options, options[0]);
+            if (type < 0) return;
+            boolean incremental = type == 1;
+
+            JFileChooser chooser = new JFileChooser();
+            chooser.setSelectedFile(new File("school_db_" + (incremental ? "incr_" : "full_")
+                    + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmm")) + ".sdb"));
+            if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+            File file = chooser.getSelectedFile();
+
+            runInBackground("Backup", () -> Backup.backup(file, incremental));
+        }
+
+        private void restore() {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setDialogTitle("Zgjidh backup-in e plotë dhe inkrementalet pas tij");
+            chooser.setMultiSelectionEnabled(true);
+            chooser.setFileFilter(new FileNameExtensionFilter("Backup (SDB)", "sdb"));
+            if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) return;
+            List<File> files = Arrays.asList(chooser.getSelectedFiles());
+
+            int ok = JOptionPane.showConfirmDialog(this, "Të dhënat aktuale do të zëvendësohen. Vazhdo?",
+                    "Restore", JOptionPane.YES_NO_OPTION);
+            if (ok != JOptionPane.YES_OPTION) return;
+
+            runInBackground("Restore", () -> Backup.restore(files));
+        }
+
+        private void runInBackground(String title, Callable<String> task) {
+            setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+            new SwingWorker<String, Void>() {
+                protected String doInBackground() throws Exception {
+                    return task.call();
+                }
+
+                protected void done() {
+                    setCursor(Cursor.getDefaultCursor());
+                    try {
+                        JOptionPane.showMessageDialog(AdminDashboard.this, title + " u krye: " + get());
+                    } catch (Exception ex) {
+                        JOptionPane.showMessageDialog(AdminDashboard.this, "Gabim: " + ex.getMessage());
+                        ex.printStackTrace();
+                    }
+                }
+            }.execute();
         }
 
         private void addStaff() {
@@ -501,6 +1491,64 @@ public class App {
         }
     }
 
+    static class DuplicateReportFrame extends JFrame {
+        private DefaultTableModel model = new DefaultTableModel(
+                new Object[]{"ID 1", "Nxënësi 1", "ID 2", "Nxënësi 2", "Klasa", "Ngjashmëria"}, 0) {
+            public boolean isCellEditable(int r, int c) { return false; }
+        };
+        private JTable table = new JTable(model);
+        private JButton btnRefresh = new JButton("Refresh");
+        private JLabel lblStatus = new JLabel();
+
+        DuplicateReportFrame() {
+            setTitle("Dublikatat e mundshme");
+            setSize(900, 420);
+            setLocationRelativeTo(null);
+
+            JPanel top = new JPanel(new FlowLayout(FlowLayout.LEFT));
+            top.add(btnRefresh);
+            top.add(lblStatus);
+
+            add(top, BorderLayout.NORTH);
+            add(new JScrollPane(table), BorderLayout.CENTER);
+
+            btnRefresh.addActionListener(e -> loadData());
+
+            loadData();
+        }
+
+        // the full scan can take a while on a big table, keep it off the EDT
+        private void loadData() {
+            btnRefresh.setEnabled(false);
+            lblStatus.setText("Duke kontrolluar...");
+            model.setRowCount(0);
+
+            new SwingWorker<List<DuplicatePair>, Void>() {
+                protected List<DuplicatePair> doInBackground() throws Exception {
+                    return Dedup.fullReport();
+                }
+
+                protected void done() {
+                    btnRefresh.setEnabled(true);
+                    try {
+                        List<DuplicatePair> pairs = get();
+                        for (DuplicatePair d : pairs) {
+                            model.addRow(new Object[]{
+                                    d.a.id, d.a.emer + " " + d.a.mbiemer,
+                                    d.b.id, d.b.emer + " " + d.b.mbiemer,
+                                    d.a.klasa, String.format("%.0f%%", d.score * 100)});
+                        }
+                        lblStatus.setText("Gjetën " + pairs.size() + " çifte");
+                    } catch (Exception ex) {
+                        lblStatus.setText("");
+                        JOptionPane.showMessageDialog(DuplicateReportFrame.this, "Gabim: " + ex.getMessage());
+                        ex.printStackTrace();
+                    }
+                }
+            }.execute();
+        }
+    }
+
     static class StudentFormFrame extends JFrame {
         private Student editing;
 
@@ -658,6 +1706,17 @@ public class App {
                 s.fotoFilename = photoFilename;
 
                 if (editing == null) {
+                    List<DuplicatePair> dups = Dedup.candidatesFor(s);
+                    if (!dups.isEmpty()) {
+                        StringBuilder msg = new StringBuilder("Mund të jetë dublikatë e:\n");
+                        for (DuplicatePair d : dups) {
+                            msg.append(String.format("ID %d: %s %s (%s) - %.0f%%%n",
+                                    d.b.id, d.b.emer, d.b.mbiemer, d.b.klasa, d.score * 100));
+                        }
+                        msg.append("\nRuaje gjithsesi?");
+                        int ok = JOptionPane.showConfirmDialog(this, msg.toString(), "Dublikatë?", JOptionPane.YES_NO_OPTION);
+                        if (ok != JOptionPane.YES_OPTION) return;
+                    }
                     int id = StudentDAO.insert(s);
                     JOptionPane.showMessageDialog(this, "U ruajt! ID=" + id);
                 } else {